@@ -3,21 +3,25 @@ package einstein.controller;
 import einstein.models.GerenciadorRecursos;
 import einstein.models.ProcessThread;
 import einstein.models.Recurso;
+import einstein.models.StandardGrantingPolicy;
 import einstein.os.OperatingSystemMonitor;
+import einstein.os.ProcessLifecycleManager;
+import einstein.view.AllocationHeatmapView;
+import einstein.view.ResourceAllocationGraphView;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class MainController {
 
     // Control Variables
     private Recurso[] configuredResourceTypes = new Recurso[10];
-    private Map<Integer, ProcessThread> activeProcesses = new ConcurrentHashMap<>();
+    private Map<Integer, ProcessThread> activeProcesses;
+    private ProcessLifecycleManager processLifecycle;
     private OperatingSystemMonitor operatingSystemThread;
     private GerenciadorRecursos resourceManager;
 
@@ -31,16 +35,24 @@ public class MainController {
     @FXML private TextField processIdInput;
     @FXML private TextField requestIntervalInput;
     @FXML private TextField usageIntervalInput;
+    @FXML private TextField priorityInput;
 
     // FXML Components - Detector
     @FXML private TextField detectionIntervalInput;
 
+    // FXML Components - Política de Concessão
+    @FXML private ComboBox<StandardGrantingPolicy> grantingPolicyInput;
+
     // FXML Components - General UI
     @FXML private TextArea logArea;
     @FXML private Label deadlockProcessesLabel;
     @FXML private TextArea resourcesStatusArea;
     @FXML private TextArea processesStatusArea;
     @FXML private TextArea allocationRequestStatusArea;
+    @FXML private TabPane allocationTabs;
+    @FXML private Tab allocationTextTab;
+    @FXML private ResourceAllocationGraphView allocationGraphView;
+    @FXML private AllocationHeatmapView allocationHeatmapView;
 
     // FXML Components - Eliminar Processo (new)
     @FXML private TextField processIdToDeleteInput;
@@ -48,6 +60,11 @@ public class MainController {
 
     public void initialize() {
         resourceManager = new GerenciadorRecursos(configuredResourceTypes, this);
+        processLifecycle = new ProcessLifecycleManager(resourceManager);
+        activeProcesses = processLifecycle.getActiveProcesses();
+        grantingPolicyInput.getItems().setAll(StandardGrantingPolicy.values());
+        grantingPolicyInput.setValue(StandardGrantingPolicy.FIFO);
+        allocationTabs.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> updateAllUIStatus());
         updateAllUIStatus();
         setupLogRedirection();
     }
@@ -64,11 +81,11 @@ public class MainController {
                 return;
             }
             if (configuredResourceTypes[id] != null) {
-                addLog("Erro: Recurso com ID " + id + " j existe.");
+                addLog("Erro: Recurso com ID " + id + " já existe.");
                 return;
             }
             if (count <= 0) {
-                addLog("Erro: O nmero de instncias deve ser positivo.");
+                addLog("Erro: O número de instâncias deve ser positivo.");
                 return;
             }
 
@@ -78,7 +95,33 @@ public class MainController {
             clearResourceFields();
             updateAllUIStatus();
         } catch (NumberFormatException e) {
-            addLog("Erro ao adicionar recurso: Verifique o ID e a Quantidade (devem ser nmeros inteiros).");
+            addLog("Erro ao adicionar recurso: Verifique o ID e a Quantidade (devem ser números inteiros).");
+        }
+    }
+
+    @FXML
+    public void handleResizeResource() {
+        try {
+            int id = Integer.parseInt(resourceIdInput.getText());
+            int count = Integer.parseInt(resourceInstanceCountInput.getText());
+
+            if (id < 0 || id >= 10 || configuredResourceTypes[id] == null) {
+                addLog("Erro: Recurso com ID " + id + " não encontrado.");
+                return;
+            }
+            if (count < 0) {
+                addLog("Erro: O número de instâncias não pode ser negativo.");
+                return;
+            }
+
+            Recurso current = configuredResourceTypes[id];
+            configuredResourceTypes[id] = new Recurso(id, current.getResourceName(), count);
+            resourceManager.setResourceConfiguration(id, configuredResourceTypes[id]);
+            addLog("Recurso '" + current.getResourceName() + "' (ID: " + id + ") redimensionado para " + count + " instâncias.");
+            clearResourceFields();
+            updateAllUIStatus();
+        } catch (NumberFormatException e) {
+            addLog("Erro ao redimensionar recurso: Verifique o ID e a Quantidade (devem ser números inteiros).");
         }
     }
 
@@ -91,38 +134,86 @@ public class MainController {
                 return;
             }
             if (activeProcesses.containsKey(id)) {
-                addLog("Erro: Processo com ID " + id + " j existe.");
+                addLog("Erro: Processo com ID " + id + " já existe.");
+                return;
+            }
+            if (processLifecycle.isReserved(id)) {
+                addLog("Erro: Processo com ID " + id + " ainda está liberando seus recursos.");
                 return;
             }
             if (activeProcesses.size() >= 10) {
-                addLog("Erro: Nmero mximo de processos (10) atingido.");
+                addLog("Erro: Número máximo de processos (10) atingido.");
                 return;
             }
 
-            int ts = Integer.parseInt(requestIntervalInput.getText());
-            int tu = Integer.parseInt(usageIntervalInput.getText());
-            if (ts <= 0 || tu <= 0) {
-                addLog("Erro: Intervalos de Requisio e Utilizao devem ser positivos.");
+            int[] parameters = readProcessParameters();
+            if (parameters == null) {
                 return;
             }
 
-            ProcessThread pt = new ProcessThread(id, ts, tu, resourceManager, this);
-            activeProcesses.put(id, pt);
-            pt.start();
-            addLog("Processo " + id + " criado (Intervalo de Requisio: " + ts + "s, Intervalo de Utilizao: " + tu + "s).");
+            if (!processLifecycle.start(new ProcessThread(id, parameters[0], parameters[1], parameters[2], resourceManager, this))) {
+                addLog("Erro: Processo com ID " + id + " já existe.");
+                return;
+            }
+            addLog("Processo " + id + " criado (Intervalo de Requisição: " + parameters[0] + "s, Intervalo de Utilização: " + parameters[1] + "s, Prioridade: " + parameters[2] + ").");
             clearProcessFields();
             updateAllUIStatus();
         } catch (NumberFormatException e) {
-            addLog("Erro ao criar processo: Verifique o ID, Intervalo de Requisio e Intervalo de Utilizao (devem ser nmeros inteiros).");
+            addLog("Erro ao criar processo: Verifique o ID, Intervalo de Requisição, Intervalo de Utilização e Prioridade (devem ser números inteiros).");
         }
     }
 
+    @FXML
+    public void handleCreateAllProcesses() {
+        try {
+            int[] parameters = readProcessParameters();
+            if (parameters == null) {
+                return;
+            }
+
+            List<ProcessThread> newProcesses = new ArrayList<>();
+            for (int id = 1; id <= 10; id++) {
+                if (!processLifecycle.isReserved(id)) {
+                    newProcesses.add(new ProcessThread(id, parameters[0], parameters[1], parameters[2], resourceManager, this));
+                }
+            }
+            if (newProcesses.isEmpty()) {
+                addLog("Erro: Número máximo de processos (10) atingido.");
+                return;
+            }
+
+            List<ProcessThread> started = processLifecycle.startAll(newProcesses);
+            addLog(started.size() + " processos criados em lote (Intervalo de Requisição: " + parameters[0] + "s, Intervalo de Utilização: " + parameters[1] + "s, Prioridade: " + parameters[2] + ").");
+            clearProcessFields();
+            updateAllUIStatus();
+        } catch (NumberFormatException e) {
+            addLog("Erro ao criar processos: Verifique o Intervalo de Requisição, Intervalo de Utilização e Prioridade (devem ser números inteiros).");
+        }
+    }
+
+    // {intervalo de requisição, intervalo de utilização, prioridade}, ou null se algum valor for inválido
+    private int[] readProcessParameters() {
+        int ts = Integer.parseInt(requestIntervalInput.getText());
+        int tu = Integer.parseInt(usageIntervalInput.getText());
+        if (ts <= 0 || tu <= 0) {
+            addLog("Erro: Intervalos de Requisição e Utilização devem ser positivos.");
+            return null;
+        }
+        String priorityText = priorityInput.getText();
+        int priority = (priorityText == null || priorityText.isBlank()) ? 0 : Integer.parseInt(priorityText.trim());
+        if (priority < 0 || priority > 9) {
+            addLog("Erro: A prioridade deve ser entre 0 e 9.");
+            return null;
+        }
+        return new int[]{ts, tu, priority};
+    }
+
     @FXML
     public void handleStartDetector() {
         try {
             long interval = Long.parseLong(detectionIntervalInput.getText());
             if (interval <= 0) {
-                addLog("Erro: O intervalo do detector deve ser um nmero positivo.");
+                addLog("Erro: O intervalo do detector deve ser um número positivo.");
                 return;
             }
 
@@ -136,10 +227,24 @@ public class MainController {
             addLog("Detector de deadlock iniciado com intervalo de " + interval + " segundos.");
             detectionIntervalInput.clear();
         } catch (NumberFormatException e) {
-            addLog("Erro ao iniciar detector: Verifique o intervalo (deve ser um nmero inteiro).");
+            addLog("Erro ao iniciar detector: Verifique o intervalo (deve ser um número inteiro).");
+        }
+    }
+
+    @FXML
+    public void handleGrantingPolicyChange() {
+        StandardGrantingPolicy policy = grantingPolicyInput.getValue();
+        if (policy != null && policy != resourceManager.getGrantingPolicy()) {
+            resourceManager.setGrantingPolicy(policy);
+            addLog("Política de concessão alterada para: " + policy + ".");
         }
     }
 
+    @FXML
+    public void handleShowGrantMetrics() {
+        addLog(resourceManager.getGrantMetricsReport());
+    }
+
     @FXML
     public void handleEliminateProcess() {
         try {
@@ -152,19 +257,15 @@ public class MainController {
             result.ifPresent(idStr -> {
                 try {
                     int idToStop = Integer.parseInt(idStr);
-                    ProcessThread pt = activeProcesses.get(idToStop);
-                    if (pt != null) {
-                        pt.stopProcessExecution();
-                        activeProcesses.remove(idToStop);
-                        resourceManager.clearAllocations(idToStop);
-                        resourceManager.clearRequests(idToStop);
+                    if (activeProcesses.containsKey(idToStop)) {
+                        processLifecycle.stop(idToStop);
                         addLog("Processo " + idToStop + " parado e removido.");
                         updateAllUIStatus();
                     } else {
-                        addLog("Erro: Processo com ID " + idToStop + " no encontrado.");
+                        addLog("Erro: Processo com ID " + idToStop + " não encontrado.");
                     }
                 } catch (NumberFormatException e) {
-                    addLog("Erro: ID invlido.");
+                    addLog("Erro: ID inválido.");
                 }
             });
         } catch (Exception e) {
@@ -173,6 +274,19 @@ public class MainController {
     }
 
 
+    @FXML
+    public void handleStopAllProcesses() {
+        int count = activeProcesses.size();
+        if (count == 0) {
+            addLog("Nenhum processo em execução.");
+            return;
+        }
+        processLifecycle.stopAll();
+        addLog(count + " processos parados e removidos.");
+        updateAllUIStatus();
+    }
+
+
     public void addLog(String log) {
         Platform.runLater(() -> logArea.appendText(log + "\n"));
     }
@@ -181,6 +295,13 @@ public class MainController {
         Platform.runLater(() -> deadlockProcessesLabel.setText("Processos em Deadlock: " + status));
     }
 
+    public void updateDeadlockedProcesses(List<Integer> deadlockedProcessIds) {
+        Platform.runLater(() -> {
+            allocationGraphView.setDeadlockedProcesses(deadlockedProcessIds);
+            allocationHeatmapView.setDeadlockedProcesses(deadlockedProcessIds);
+        });
+    }
+
     public void updateCountdownTimer(double seconds) {
         // Implement if you have a label for countdown
     }
@@ -201,29 +322,37 @@ public class MainController {
         processIdInput.clear();
         requestIntervalInput.clear();
         usageIntervalInput.clear();
+        priorityInput.clear();
     }
 
     public void shutdown() {
         if (operatingSystemThread != null) {
             operatingSystemThread.stopMonitor();
         }
-        for (ProcessThread pt : activeProcesses.values()) {
-            pt.stopProcessExecution();
-        }
-        activeProcesses.clear();
+        processLifecycle.shutdown();
     }
 
     private void updateAllUIStatus() {
         Platform.runLater(() -> {
             resourcesStatusArea.setText(getDisplayedResourceStatus());
             processesStatusArea.setText(getDisplayedProcessStatus());
-            allocationRequestStatusArea.setText(getDisplayedAllocationAndRequest());
+            // A matriz em texto só é remontada com a aba "Texto" aberta; nas abas de canvas ela já aparece no grafo/mapa.
+            if (allocationTabs.getSelectionModel().getSelectedItem() == allocationTextTab) {
+                allocationRequestStatusArea.setText(getDisplayedAllocationAndRequest());
+            }
+            refreshAllocationViews();
         });
     }
 
+    private void refreshAllocationViews() {
+        allocationGraphView.update(activeProcesses.keySet(), resourceManager.totalResources, resourceManager.getAvailableResourcesArray(),
+                resourceManager.allocationMatrix, resourceManager.requestMatrix);
+        allocationHeatmapView.update(resourceManager.totalResources, resourceManager.allocationMatrix, resourceManager.requestMatrix);
+    }
+
     public String getDisplayedProcessStatus() {
         return activeProcesses.values().stream()
-                .map(p -> "P" + p.getProcessId() + ": " + p.getProcessStatus())
+                .map(p -> "P" + p.getProcessId() + " (prioridade " + p.getProcessPriority() + "): " + p.getProcessStatus())
                 .collect(Collectors.joining("\n"));
     }
 
@@ -234,7 +363,12 @@ public class MainController {
                 Recurso res = configuredResourceTypes[i];
                 sb.append("Recurso '").append(res.getResourceName()).append("' (ID: ").append(res.getResourceId()).append("):\n");
                 sb.append("  Total: ").append(resourceManager.totalResources[i])
-                        .append(", Disponvel: ").append(resourceManager.availableResources[i].availablePermits()).append("\n");
+                        .append(", Disponível: ").append(resourceManager.availableResources[i].availablePermits());
+                int pendingShrink = resourceManager.availableResources[i].getPendingShrink();
+                if (pendingShrink > 0) {
+                    sb.append(", Aguardando drenagem: ").append(pendingShrink);
+                }
+                sb.append("\n");
                 List<Integer> holders = new ArrayList<>();
                 for (Map.Entry<Integer, ProcessThread> entry : activeProcesses.entrySet()) {
                     int processId = entry.getKey();
@@ -245,7 +379,7 @@ public class MainController {
                 if (!holders.isEmpty()) {
                     sb.append("  Usado por: P").append(holders.stream().map(String::valueOf).collect(Collectors.joining(", P"))).append("\n");
                 } else {
-                    sb.append("  No usado por nenhum processo.\n");
+                    sb.append("  Não usado por nenhum processo.\n");
                 }
             }
         }
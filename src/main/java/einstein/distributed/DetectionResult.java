@@ -0,0 +1,4 @@
+package einstein.distributed;
+
+public record DetectionResult(boolean deadlockDetected, long messageCount, long latencyNanos) {
+}
@@ -0,0 +1,97 @@
+package einstein.distributed;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Mede mensagens e latência da detecção distribuída conforme o número de nós cresce.
+ * Cada cenário monta um anel: em cada nó k, os processos mantêm uma instância do recurso local e os que esperam
+ * pedem o recurso do nó k+1. Com várias instâncias, basta um processo ativo mantendo o recurso para não haver deadlock.
+ */
+public class DistributedDeadlockBenchmark {
+    private static final int[] NODE_COUNTS = {2, 4, 8, 16, 32, 64};
+    private static final int REPETITIONS = 5;
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        PrintStream console = System.out;
+        List<String> rows = new ArrayList<>();
+        for (int nodeCount : NODE_COUNTS) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream())); // Os gerenciadores locais registram cada operação no console
+            try {
+                rows.add(runRing(nodeCount, 1, true));
+                rows.add(runRing(nodeCount, 2, true));
+                rows.add(runRing(nodeCount, 2, false));
+            } finally {
+                System.setOut(console);
+            }
+        }
+
+        System.out.println("nós | instâncias | todos esperam | deadlock local | deadlock global | mensagens | latência média (ms)");
+        rows.forEach(System.out::println);
+    }
+
+    // O processo k*nodeCount+n+1 vive no nó n; só os de k == 0 esperam, a menos que allWaiting esteja ligado.
+    private static String runRing(int nodeCount, int instances, boolean allWaiting) throws InterruptedException {
+        int processCount = nodeCount * instances;
+        int[] homeNodes = new int[processCount];
+        for (int i = 0; i < processCount; i++) {
+            homeNodes[i] = i % nodeCount;
+        }
+        SimulatedCluster cluster = new SimulatedCluster(nodeCount, 1, instances, homeNodes);
+
+        CountDownLatch allHolding = new CountDownLatch(processCount);
+        List<Integer> waitingProcesses = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < processCount; i++) {
+            int processId = i + 1;
+            int homeNode = homeNodes[i];
+            int nextNode = (homeNode + 1) % nodeCount;
+            boolean waits = allWaiting || i < nodeCount;
+            if (waits) {
+                waitingProcesses.add(processId);
+            }
+            Thread worker = new Thread(() -> {
+                cluster.requestResource(processId, homeNode, 0);
+                allHolding.countDown();
+                if (!waits) {
+                    return; // Processo ativo: mantém a instância sem pedir mais nada
+                }
+                try {
+                    allHolding.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                cluster.requestResource(processId, nextNode, 0);
+            });
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        allHolding.await();
+        for (int processId : waitingProcesses) {
+            while (!cluster.isBlocked(processId)) {
+                Thread.sleep(1);
+            }
+        }
+
+        boolean localDeadlock = !cluster.detectLocalDeadlocks().isEmpty();
+        boolean globalDeadlock = true;
+        long totalMessages = 0;
+        long totalLatency = 0;
+        for (int i = 0; i < REPETITIONS; i++) {
+            DetectionResult result = cluster.detectGlobalDeadlock(1, TIMEOUT_MILLIS);
+            globalDeadlock &= result.deadlockDetected();
+            totalMessages += result.messageCount();
+            totalLatency += result.latencyNanos();
+        }
+
+        workers.forEach(Thread::interrupt);
+        cluster.shutdown();
+        return String.format("%3d | %10d | %13s | %14s | %15s | %9d | %.3f", nodeCount, instances, allWaiting, localDeadlock,
+                globalDeadlock, totalMessages / REPETITIONS, totalLatency / (REPETITIONS * 1_000_000.0));
+    }
+}
@@ -0,0 +1,78 @@
+package einstein.distributed;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InProcessTransport {
+    private final SimulatedNode[] nodes;
+    private final ExecutorService[] inboxes; // Uma thread de entrega por nó, como se fosse a rede daquele host
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private final Object quiescenceLock = new Object();
+
+    public InProcessTransport(int nodeCount) {
+        nodes = new SimulatedNode[nodeCount];
+        inboxes = new ExecutorService[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            inboxes[i] = Executors.newSingleThreadExecutor();
+        }
+    }
+
+    public void register(SimulatedNode node) {
+        nodes[node.getNodeId()] = node;
+    }
+
+    // Mensagens entre nós distintos são contadas; entregas locais passam pela mesma fila, mas não contam.
+    public void send(int fromNode, int toNode, ProbeMessage message) {
+        if (fromNode != toNode) {
+            messageCount.incrementAndGet();
+        }
+        pendingMessages.incrementAndGet();
+        inboxes[toNode].execute(() -> {
+            try {
+                nodes[toNode].onMessage(message);
+            } finally {
+                if (pendingMessages.decrementAndGet() == 0) {
+                    synchronized (quiescenceLock) {
+                        quiescenceLock.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public boolean awaitQuiescence(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (quiescenceLock) {
+            while (pendingMessages.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                quiescenceLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    public void shutdown() {
+        for (ExecutorService inbox : inboxes) {
+            inbox.shutdownNow();
+        }
+        for (ExecutorService inbox : inboxes) {
+            try {
+                inbox.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
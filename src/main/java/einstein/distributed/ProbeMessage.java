@@ -0,0 +1,8 @@
+package einstein.distributed;
+
+// Mensagem do algoritmo de Chandy-Misra-Haas no modelo OR, dentro de uma rodada de detecção.
+// QUERY vai ao nó de origem do receiver; ENGAGE segue dele ao nó dono do recurso pelo qual o receiver espera,
+// onde ficam as arestas do receiver; REPLY volta a replyNode, o nó que enviou a consulta em nome do sender.
+public record ProbeMessage(Kind kind, long round, int initiator, int sender, int receiver, int resourceId, int replyNode) {
+    public enum Kind { QUERY, ENGAGE, REPLY }
+}
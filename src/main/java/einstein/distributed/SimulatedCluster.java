@@ -0,0 +1,126 @@
+package einstein.distributed;
+
+import einstein.models.Recurso;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Modo multi-nó: cada {@link SimulatedNode} possui seus próprios recursos, um gerenciador local e um detector local.
+ * Deadlocks que atravessam nós são encontrados com o algoritmo de Chandy-Misra-Haas para o modelo OR sobre o
+ * {@link InProcessTransport}, o que cobre recursos com várias instâncias. Modo sem interface: usado pelo benchmark.
+ */
+public class SimulatedCluster {
+    private final SimulatedNode[] nodes;
+    private final int[] homeNodes; // homeNodes[processId-1] = nó de origem do processo
+    private final InProcessTransport transport;
+    private final AtomicLong nextRound = new AtomicLong(1);
+    private final Map<Long, CompletableFuture<Boolean>> pendingRounds = new ConcurrentHashMap<>();
+
+    public SimulatedCluster(int nodeCount, int resourcesPerNode, int instancesPerResource, int[] homeNodes) {
+        this.homeNodes = homeNodes.clone();
+        this.transport = new InProcessTransport(nodeCount);
+        this.nodes = new SimulatedNode[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            Recurso[] resources = new Recurso[resourcesPerNode];
+            for (int r = 0; r < resourcesPerNode; r++) {
+                resources[r] = new Recurso(r, "N" + n + "-R" + r, instancesPerResource);
+            }
+            nodes[n] = new SimulatedNode(n, resources, homeNodes.length, this, transport);
+            transport.register(nodes[n]);
+        }
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    public SimulatedNode getNode(int nodeId) {
+        return nodes[nodeId];
+    }
+
+    public int getHomeNode(int processId) {
+        return homeNodes[processId - 1];
+    }
+
+    public Recurso requestResource(int processId, int nodeId, int resourceId) {
+        SimulatedNode home = nodes[getHomeNode(processId)];
+        // Só indica para onde encaminhar consultas: se o processo está de fato bloqueado, quem decide é o pool do nó dono.
+        home.markBlocked(processId, nodeId, resourceId);
+        try {
+            return nodes[nodeId].getLocalManager().requestResource(processId, resourceId);
+        } finally {
+            home.markUnblocked(processId);
+        }
+    }
+
+    public void releaseResource(int processId, int nodeId, int resourceId) {
+        nodes[nodeId].getLocalManager().releaseResource(processId, resourceId);
+    }
+
+    public boolean isBlocked(int processId) {
+        int[] waitingFor = nodes[getHomeNode(processId)].getWaitingFor(processId);
+        return waitingFor != null && nodes[waitingFor[0]].getLocalManager().isWaitingFor(processId, waitingFor[1]);
+    }
+
+    public List<Integer> detectLocalDeadlocks() {
+        List<Integer> deadlocked = new ArrayList<>();
+        for (SimulatedNode node : nodes) {
+            deadlocked.addAll(node.detectLocalDeadlock());
+        }
+        return deadlocked;
+    }
+
+    // Inicia uma rodada de consultas a partir do processo informado e aguarda todas as respostas voltarem até ele
+    // ou a rede ficar sem mensagens pendentes (sem deadlock envolvendo o iniciador).
+    public DetectionResult detectGlobalDeadlock(int initiatorProcessId, long timeoutMillis) throws InterruptedException {
+        long round = nextRound.getAndIncrement();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        pendingRounds.put(round, result);
+        long messagesBefore = transport.getMessageCount();
+        long start = System.nanoTime();
+
+        nodes[getHomeNode(initiatorProcessId)].initiate(round, initiatorProcessId);
+        CompletableFuture.runAsync(() -> {
+            try {
+                transport.awaitQuiescence(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            result.complete(false);
+        });
+
+        boolean deadlock;
+        try {
+            deadlock = result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            deadlock = false;
+        }
+        long latency = System.nanoTime() - start;
+        long messages = transport.getMessageCount() - messagesBefore;
+
+        pendingRounds.remove(round);
+        for (SimulatedNode node : nodes) {
+            node.forgetRound(round);
+        }
+        return new DetectionResult(deadlock, messages, latency);
+    }
+
+    void completeRound(long round, boolean deadlock) {
+        CompletableFuture<Boolean> result = pendingRounds.get(round);
+        if (result != null) {
+            result.complete(deadlock);
+        }
+    }
+
+    public void shutdown() {
+        transport.shutdown();
+    }
+}
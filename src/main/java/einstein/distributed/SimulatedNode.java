@@ -0,0 +1,142 @@
+package einstein.distributed;
+
+import einstein.models.GerenciadorRecursos;
+import einstein.models.Recurso;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SimulatedNode {
+    private final int nodeId;
+    private final GerenciadorRecursos localManager; // Dono apenas dos recursos deste nó
+    private final SimulatedCluster cluster;
+    private final InProcessTransport transport;
+    private final Map<Integer, int[]> blockedProcesses = new ConcurrentHashMap<>(); // processId -> {nó, recurso} aguardado
+    private final Map<Long, Engagement> engagements = new ConcurrentHashMap<>(); // (rodada, processo) esperando por este nó
+
+    public SimulatedNode(int nodeId, Recurso[] resources, int processCount, SimulatedCluster cluster, InProcessTransport transport) {
+        this.nodeId = nodeId;
+        this.localManager = new GerenciadorRecursos(resources, processCount, null);
+        this.cluster = cluster;
+        this.transport = transport;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public GerenciadorRecursos getLocalManager() {
+        return localManager;
+    }
+
+    // Detector local: só enxerga ciclos formados inteiramente por recursos deste nó.
+    public List<Integer> detectLocalDeadlock() {
+        return localManager.detectDeadlock();
+    }
+
+    void markBlocked(int processId, int targetNode, int resourceId) {
+        blockedProcesses.put(processId, new int[]{targetNode, resourceId});
+    }
+
+    void markUnblocked(int processId) {
+        blockedProcesses.remove(processId);
+    }
+
+    int[] getWaitingFor(int processId) {
+        return blockedProcesses.get(processId);
+    }
+
+    // O iniciador é engajado diretamente no nó dono do recurso pelo qual espera.
+    void initiate(long round, int processId) {
+        int[] waitingFor = blockedProcesses.get(processId);
+        if (waitingFor == null) {
+            cluster.completeRound(round, false);
+            return;
+        }
+        transport.send(nodeId, waitingFor[0],
+                new ProbeMessage(ProbeMessage.Kind.ENGAGE, round, processId, -1, processId, waitingFor[1], -1));
+    }
+
+    void forgetRound(long round) {
+        engagements.keySet().removeIf(key -> (key >>> 32) == round);
+    }
+
+    // Modelo OR: quem espera por um recurso com várias instâncias é liberado por qualquer um dos que o mantêm.
+    // O receiver só responde depois que todos os seus sucessores responderam; processos ativos nunca respondem.
+    void onMessage(ProbeMessage message) {
+        switch (message.kind()) {
+            case QUERY -> {
+                // Este nó é o nó de origem do receiver: encaminha ao nó onde ele está esperando.
+                int[] waitingFor = blockedProcesses.get(message.receiver());
+                if (waitingFor != null) {
+                    transport.send(nodeId, waitingFor[0], new ProbeMessage(ProbeMessage.Kind.ENGAGE, message.round(),
+                            message.initiator(), message.sender(), message.receiver(), waitingFor[1], message.replyNode()));
+                }
+            }
+            case ENGAGE -> onEngage(message);
+            case REPLY -> {
+                Engagement engagement = engagements.get(roundKey(message.round(), message.receiver()));
+                if (engagement != null && localManager.isWaitingFor(message.receiver(), engagement.resourceId)
+                        && --engagement.pendingReplies == 0) {
+                    reply(message.round(), message.initiator(), message.receiver(), engagement);
+                }
+            }
+        }
+    }
+
+    // Este nó é dono do recurso: só um processo de fato na fila, sem instância livre, participa da rodada.
+    private void onEngage(ProbeMessage message) {
+        int processId = message.receiver();
+        if (!localManager.isWaitingFor(processId, message.resourceId())) {
+            return;
+        }
+        long key = roundKey(message.round(), processId);
+        if (engagements.containsKey(key)) {
+            transport.send(nodeId, message.replyNode(), new ProbeMessage(ProbeMessage.Kind.REPLY, message.round(),
+                    message.initiator(), processId, message.sender(), -1, -1));
+            return;
+        }
+        List<Integer> holders = localManager.getProcessesHolding(message.resourceId());
+        holders.remove(Integer.valueOf(processId));
+        Engagement engagement = new Engagement(message.sender(), message.replyNode(), message.resourceId(), holders.size());
+        engagements.put(key, engagement);
+        if (holders.isEmpty()) {
+            // Ninguém mantém o recurso e não há instância livre (encolhido a zero): a espera nunca termina.
+            reply(message.round(), message.initiator(), processId, engagement);
+            return;
+        }
+        for (int holder : holders) {
+            transport.send(nodeId, cluster.getHomeNode(holder), new ProbeMessage(ProbeMessage.Kind.QUERY, message.round(),
+                    message.initiator(), processId, holder, -1, nodeId));
+        }
+    }
+
+    private void reply(long round, int initiator, int processId, Engagement engagement) {
+        if (engagement.engager < 0) {
+            cluster.completeRound(round, true);
+            return;
+        }
+        transport.send(nodeId, engagement.engagerNode,
+                new ProbeMessage(ProbeMessage.Kind.REPLY, round, initiator, processId, engagement.engager, -1, -1));
+    }
+
+    private static long roundKey(long round, int processId) {
+        return (round << 32) | processId;
+    }
+
+    // Estado de um processo engajado numa rodada: quem o engajou, por qual recurso espera e quantas respostas faltam.
+    private static final class Engagement {
+        private final int engager;
+        private final int engagerNode;
+        private final int resourceId;
+        private int pendingReplies;
+
+        private Engagement(int engager, int engagerNode, int resourceId, int pendingReplies) {
+            this.engager = engager;
+            this.engagerNode = engagerNode;
+            this.resourceId = resourceId;
+            this.pendingReplies = pendingReplies;
+        }
+    }
+}
@@ -4,45 +4,108 @@ import einstein.controller.MainController;
 import javafx.application.Platform;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.Semaphore;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GerenciadorRecursos {
     private final Object lockObject = new Object();
-    public int[] totalResources; // Recursos existentes (total de instncias por tipo)
-    public Semaphore[] availableResources; // Recursos disponveis (instncias disponveis por tipo)
-    public int[][] allocationMatrix; // Matriz de alocao (allocationMatrix[processId-1][resourceId] = instncias alocadas)
-    public int[][] requestMatrix; // Matriz de requisio (requestMatrix[processId-1][resourceId] = instncias requisitadas)
-    private Recurso[] resourceConfigurations; // Referncia aos recursos configurados no MainController
+    public int[] totalResources; // Recursos existentes (total de instâncias por tipo)
+    public ResourcePool[] availableResources; // Recursos disponíveis (instâncias disponíveis por tipo)
+    public int[][] allocationMatrix; // Matriz de alocação (allocationMatrix[processId-1][resourceId] = instâncias alocadas)
+    public int[][] requestMatrix; // Matriz de requisição (requestMatrix[processId-1][resourceId] = instâncias requisitadas)
+    private Recurso[] resourceConfigurations; // Referência aos recursos configurados no MainController
 
     private MainController controller;
+    private GrantingPolicy grantingPolicy = StandardGrantingPolicy.FIFO;
+    private final Map<GrantingPolicy, GrantMetrics> grantMetricsByPolicy = new LinkedHashMap<>(); // Na ordem em que as políticas foram usadas
+    private final AtomicBoolean stateRefreshPending = new AtomicBoolean(false);
 
     public GerenciadorRecursos(Recurso[] resourceConfigurations, MainController controller) {
+        this(resourceConfigurations, 10, controller);
+    }
+
+    // controller pode ser nulo quando o gerenciador roda sem interface (ex.: nós da simulação distribuída)
+    public GerenciadorRecursos(Recurso[] resourceConfigurations, int processCount, MainController controller) {
         this.resourceConfigurations = resourceConfigurations;
         this.controller = controller;
 
-        totalResources = new int[10]; // 10 tipos de recursos
-        availableResources = new Semaphore[10];
-        for (int i = 0; i < 10; i++) {
+        int resourceCount = resourceConfigurations.length;
+        totalResources = new int[resourceCount]; // Tipos de recursos (10 na interface)
+        availableResources = new ResourcePool[resourceCount];
+        GrantMetrics grantMetrics = getGrantMetrics();
+        for (int i = 0; i < resourceCount; i++) {
             if (resourceConfigurations[i] != null) {
                 totalResources[i] = resourceConfigurations[i].getTotalInstancesCount();
-                availableResources[i] = new Semaphore(totalResources[i]);
+                availableResources[i] = new ResourcePool(totalResources[i], grantingPolicy, grantMetrics);
             } else {
                 totalResources[i] = 0;
-                availableResources[i] = new Semaphore(0);
+                availableResources[i] = new ResourcePool(0, grantingPolicy, grantMetrics);
             }
         }
 
-        allocationMatrix = new int[10][10]; // 10 processos x 10 recursos
-        requestMatrix = new int[10][10]; // 10 processos x 10 recursos
+        allocationMatrix = new int[processCount][resourceCount]; // processos x recursos
+        requestMatrix = new int[processCount][resourceCount]; // processos x recursos
     }
 
     public void setResourceConfiguration(int resourceId, Recurso resource) {
         synchronized (lockObject) {
+            int previousTotal = totalResources[resourceId];
             resourceConfigurations[resourceId] = resource;
-            totalResources[resourceId] = resource.getTotalInstancesCount();
-            availableResources[resourceId] = new Semaphore(totalResources[resourceId]);
+            // O pool é o mesmo desde a construção: processos na fila e alocações atuais são preservados.
+            // O total exibido e usado pelo detector é sempre o do pool.
+            availableResources[resourceId].resize(resource.getTotalInstancesCount());
+            totalResources[resourceId] = availableResources[resourceId].getTotal();
+            if (previousTotal > 0) {
+                System.out.println("Recurso " + resource.getResourceName() + " (ID: " + resourceId + ") redimensionado de " + previousTotal
+                        + " para " + totalResources[resourceId] + " instâncias (" + availableResources[resourceId].getPendingShrink() + " aguardando drenagem).");
+            }
+            notifyStateChanged();
+        }
+    }
+
+    public void setGrantingPolicy(GrantingPolicy policy) {
+        synchronized (lockObject) {
+            grantingPolicy = policy;
+            // Cada política acumula suas próprias amostras; voltar a uma política continua de onde ela parou.
+            GrantMetrics grantMetrics = getGrantMetrics();
+            for (ResourcePool pool : availableResources) {
+                pool.setPolicy(policy, grantMetrics);
+            }
+        }
+    }
+
+    public GrantingPolicy getGrantingPolicy() {
+        return grantingPolicy;
+    }
+
+    // Métricas da política atual
+    public GrantMetrics getGrantMetrics() {
+        synchronized (lockObject) {
+            return grantMetricsByPolicy.computeIfAbsent(grantingPolicy, policy -> new GrantMetrics());
+        }
+    }
+
+    // Uma linha por política já usada; quem ainda espera na fila conta apenas para a política atual.
+    public String getGrantMetricsReport() {
+        synchronized (lockObject) {
+            int stillWaitingStarved = 0;
+            for (ResourcePool pool : availableResources) {
+                stillWaitingStarved += pool.countWaitingLongerThan(GrantMetrics.STARVATION_THRESHOLD_MILLIS * 1_000_000);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<GrantingPolicy, GrantMetrics> entry : grantMetricsByPolicy.entrySet()) {
+                boolean current = entry.getKey() == grantingPolicy;
+                if (sb.length() > 0) {
+                    sb.append("\n");
+                }
+                sb.append("Política '").append(entry.getKey()).append("'").append(current ? " (atual)" : "").append(": ")
+                        .append(entry.getValue().report(current ? stillWaitingStarved : 0));
+            }
+            return sb.toString();
         }
     }
 
@@ -59,10 +122,12 @@ public class GerenciadorRecursos {
 
     public ArrayList<Integer> detectDeadlock() {
         synchronized (lockObject) {
-            boolean[] activeProcesses = new boolean[10];
-            for (int i = 0; i < 10; i++) {
+            int processCount = allocationMatrix.length;
+            int resourceCount = totalResources.length;
+            boolean[] activeProcesses = new boolean[processCount];
+            for (int i = 0; i < processCount; i++) {
                 boolean hasAllocationOrRequest = false;
-                for (int j = 0; j < 10; j++) {
+                for (int j = 0; j < resourceCount; j++) {
                     if (allocationMatrix[i][j] > 0 || requestMatrix[i][j] > 0) {
                         hasAllocationOrRequest = true;
                         break;
@@ -71,31 +136,35 @@ public class GerenciadorRecursos {
                 activeProcesses[i] = hasAllocationOrRequest;
             }
 
-            int[] Work = new int[10];
-            for (int i = 0; i < 10; i++) {
+            int[] Work = new int[resourceCount];
+            int[] pendingShrink = new int[resourceCount]; // Instâncias que ainda serão descartadas ao voltarem ao pool
+            for (int i = 0; i < resourceCount; i++) {
                 Work[i] = availableResources[i].availablePermits();
+                pendingShrink[i] = availableResources[i].getPendingShrink();
             }
 
-            boolean[] Finish = new boolean[10];
-            for (int i = 0; i < 10; i++) {
+            boolean[] Finish = new boolean[processCount];
+            for (int i = 0; i < processCount; i++) {
                 Finish[i] = !activeProcesses[i];
             }
 
             boolean changed = true;
             while (changed) {
                 changed = false;
-                for (int i = 0; i < 10; i++) {
+                for (int i = 0; i < processCount; i++) {
                     if (activeProcesses[i] && !Finish[i]) {
                         boolean canExecute = true;
-                        for (int j = 0; j < 10; j++) {
+                        for (int j = 0; j < resourceCount; j++) {
                             if (requestMatrix[i][j] > Work[j]) {
                                 canExecute = false;
                                 break;
                             }
                         }
                         if (canExecute) {
-                            for (int j = 0; j < 10; j++) {
-                                Work[j] += allocationMatrix[i][j];
+                            for (int j = 0; j < resourceCount; j++) {
+                                int absorbed = Math.min(pendingShrink[j], allocationMatrix[i][j]);
+                                pendingShrink[j] -= absorbed;
+                                Work[j] += allocationMatrix[i][j] - absorbed;
                             }
                             Finish[i] = true;
                             changed = true;
@@ -105,7 +174,7 @@ public class GerenciadorRecursos {
             }
 
             ArrayList<Integer> deadlockedProcessIds = new ArrayList<>();
-            for (int i = 0; i < 10; i++) {
+            for (int i = 0; i < processCount; i++) {
                 if (activeProcesses[i] && !Finish[i]) {
                     deadlockedProcessIds.add(i + 1);
                 }
@@ -113,51 +182,55 @@ public class GerenciadorRecursos {
 
             Collections.sort(deadlockedProcessIds);
 
-            Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+            notifyStateChanged();
             return deadlockedProcessIds;
         }
     }
 
     public Recurso requestResource(Integer processId, Integer resourceId) {
+        return requestResource(processId, resourceId, 0, 0);
+    }
+
+    public Recurso requestResource(Integer processId, Integer resourceId, int priority, long expectedUsageMillis) {
         synchronized (lockObject) {
-            if (resourceId < 0 || resourceId >= 10 || resourceConfigurations[resourceId] == null) {
-                System.out.println("Processo " + processId + ": Tentativa de requisitar recurso invlido/inexistente ID " + resourceId);
+            if (resourceId < 0 || resourceId >= resourceConfigurations.length || resourceConfigurations[resourceId] == null) {
+                System.out.println("Processo " + processId + ": Tentativa de requisitar recurso inválido/inexistente ID " + resourceId);
                 return null;
             }
 
             if ((allocationMatrix[processId - 1][resourceId] + requestMatrix[processId - 1][resourceId]) >= totalResources[resourceId]) {
-                System.out.println("Processo " + processId + ": J alocou/solicitou o mximo de instncias de " + resourceConfigurations[resourceId].getResourceName());
+                System.out.println("Processo " + processId + ": Já alocou/solicitou o máximo de instâncias de " + resourceConfigurations[resourceId].getResourceName());
                 return null;
             }
 
             requestMatrix[processId - 1][resourceId]++;
-            System.out.println("Processo " + processId + " requisitou 1 instncia de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
-            Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+            System.out.println("Processo " + processId + " requisitou 1 instância de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
+            notifyStateChanged();
         }
 
         try {
-            availableResources[resourceId].acquire();
+            availableResources[resourceId].acquire(processId, priority, expectedUsageMillis);
 
             synchronized (lockObject) {
                 requestMatrix[processId - 1][resourceId]--;
                 allocationMatrix[processId - 1][resourceId]++;
-                System.out.println("Processo " + processId + " alocou 1 instncia de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
-                Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+                System.out.println("Processo " + processId + " alocou 1 instância de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
+                notifyStateChanged();
                 return resourceConfigurations[resourceId];
             }
         } catch (InterruptedException e) {
             synchronized (lockObject) {
                 requestMatrix[processId - 1][resourceId]--;
-                System.out.println("Processo " + processId + " teve sua requisio para " + resourceConfigurations[resourceId].getResourceName() + " desfeita devido a interrupo.");
-                Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+                System.out.println("Processo " + processId + " teve sua requisição para " + resourceConfigurations[resourceId].getResourceName() + " desfeita devido a interrupção.");
+                notifyStateChanged();
             }
             Thread.currentThread().interrupt();
             return null;
         } catch (Exception e) {
-            System.out.println("Erro durante a requisio/alocao de recurso para o Processo " + processId + ": " + e.getMessage());
+            System.out.println("Erro durante a requisição/alocação de recurso para o Processo " + processId + ": " + e.getMessage());
             synchronized (lockObject) {
                 requestMatrix[processId - 1][resourceId]--;
-                Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+                notifyStateChanged();
             }
             return null;
         }
@@ -165,48 +238,70 @@ public class GerenciadorRecursos {
 
     public void releaseResource(Integer processId, Integer resourceId) {
         synchronized (lockObject) {
-            if (resourceId < 0 || resourceId >= 10 || resourceConfigurations[resourceId] == null) {
-                System.out.println("Processo " + processId + ": Tentativa de liberar recurso invlido/inexistente ID " + resourceId);
+            if (resourceId < 0 || resourceId >= resourceConfigurations.length || resourceConfigurations[resourceId] == null) {
+                System.out.println("Processo " + processId + ": Tentativa de liberar recurso inválido/inexistente ID " + resourceId);
                 return;
             }
             if (allocationMatrix[processId - 1][resourceId] <= 0) {
-                System.out.println("Processo " + processId + ": Tentativa de liberar recurso " + resourceConfigurations[resourceId].getResourceName() + " que no possui.");
+                System.out.println("Processo " + processId + ": Tentativa de liberar recurso " + resourceConfigurations[resourceId].getResourceName() + " que não possui.");
                 return;
             }
 
             allocationMatrix[processId - 1][resourceId]--;
-            System.out.println("Processo " + processId + " liberou 1 instncia de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
+            System.out.println("Processo " + processId + " liberou 1 instância de " + resourceConfigurations[resourceId].getResourceName() + " (ID: " + resourceId + ")");
             availableResources[resourceId].release();
-            Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+            notifyStateChanged();
         }
     }
 
-    public void clearRequests(int processId) {
+    // Libera, numa única passagem e com uma única atualização de estado, tudo o que os processos ainda mantêm.
+    // Deve ser chamado depois que os processos terminaram, para não concorrer com uma requisição em andamento.
+    public void releaseAllHoldings(Collection<Integer> processIds) {
         synchronized (lockObject) {
-            for (int j = 0; j < 10; j++) {
-                requestMatrix[processId - 1][j] = 0;
+            for (int processId : processIds) {
+                for (int j = 0; j < totalResources.length; j++) {
+                    requestMatrix[processId - 1][j] = 0;
+                    if (allocationMatrix[processId - 1][j] > 0) {
+                        int instancesToRelease = allocationMatrix[processId - 1][j];
+                        allocationMatrix[processId - 1][j] = 0;
+                        availableResources[j].release(instancesToRelease);
+                        System.out.println("Processo " + processId + " teve " + instancesToRelease + " instâncias de " + resourceConfigurations[j].getResourceName() + " liberadas forçadamente.");
+                    }
+                }
             }
-            Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+            notifyStateChanged();
         }
     }
 
-    public void clearAllocations(int processId) {
+    public List<Integer> getProcessesHolding(int resourceId) {
         synchronized (lockObject) {
-            for (int j = 0; j < 10; j++) {
-                if (allocationMatrix[processId - 1][j] > 0) {
-                    int instancesToRelease = allocationMatrix[processId - 1][j];
-                    allocationMatrix[processId - 1][j] = 0;
-                    availableResources[j].release(instancesToRelease);
-                    System.out.println("Processo " + processId + " teve " + instancesToRelease + " instncias de " + resourceConfigurations[j].getResourceName() + " liberadas foradamente.");
+            List<Integer> holders = new ArrayList<>();
+            for (int i = 0; i < allocationMatrix.length; i++) {
+                if (allocationMatrix[i][resourceId] > 0) {
+                    holders.add(i + 1);
                 }
             }
-            Platform.runLater(() -> controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix));
+            return holders;
+        }
+    }
+
+    public boolean isWaitingFor(int processId, int resourceId) {
+        return availableResources[resourceId].isWaiting(processId);
+    }
+
+    // Várias mudanças antes do próximo pulso da interface geram uma única atualização.
+    private void notifyStateChanged() {
+        if (controller != null && stateRefreshPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                stateRefreshPending.set(false);
+                controller.updateResourceStateDisplay(totalResources, getAvailableResourcesArray(), allocationMatrix, requestMatrix);
+            });
         }
     }
 
     public int[] getAvailableResourcesArray() {
-        int[] arr = new int[10];
-        for (int i = 0; i < 10; i++) {
+        int[] arr = new int[availableResources.length];
+        for (int i = 0; i < availableResources.length; i++) {
             arr[i] = (availableResources[i] != null) ? availableResources[i].availablePermits() : 0;
         }
         return arr;
@@ -0,0 +1,66 @@
+package einstein.models;
+
+import java.util.Arrays;
+
+// Tempos de espera entre a requisição e a concessão, separados entre processos de alta prioridade e os demais.
+public class GrantMetrics {
+    public static final int HIGH_PRIORITY_THRESHOLD = 5;
+    public static final long STARVATION_THRESHOLD_MILLIS = 10_000;
+
+    private long[] highPriorityWaits = new long[64];
+    private int highPriorityCount = 0;
+    private long[] otherWaits = new long[64];
+    private int otherCount = 0;
+    private int starvedGrants = 0;
+
+    public synchronized void recordGrant(int priority, long waitNanos) {
+        if (priority >= HIGH_PRIORITY_THRESHOLD) {
+            if (highPriorityCount == highPriorityWaits.length) {
+                highPriorityWaits = Arrays.copyOf(highPriorityWaits, highPriorityCount * 2);
+            }
+            highPriorityWaits[highPriorityCount++] = waitNanos;
+        } else {
+            if (otherCount == otherWaits.length) {
+                otherWaits = Arrays.copyOf(otherWaits, otherCount * 2);
+            }
+            otherWaits[otherCount++] = waitNanos;
+        }
+        if (waitNanos >= STARVATION_THRESHOLD_MILLIS * 1_000_000) {
+            starvedGrants++;
+        }
+    }
+
+    public synchronized long getHighPriorityPercentileNanos(double percentile) {
+        return percentile(highPriorityWaits, highPriorityCount, percentile);
+    }
+
+    public synchronized long getPercentileNanos(double percentile) {
+        long[] all = Arrays.copyOf(highPriorityWaits, highPriorityCount + otherCount);
+        System.arraycopy(otherWaits, 0, all, highPriorityCount, otherCount);
+        return percentile(all, all.length, percentile);
+    }
+
+    // stillWaitingStarved: processos que continuam na fila há mais que o limite de inanição
+    public synchronized String report(int stillWaitingStarved) {
+        return String.format("Concessões: %d (alta prioridade: %d) | Espera p50/p99/máx: %s/%s/%s ms"
+                        + " | Alta prioridade p50/p99/máx: %s/%s/%s ms | Inanição (> %d s): %d concedidas, %d ainda aguardando",
+                highPriorityCount + otherCount, highPriorityCount,
+                millis(getPercentileNanos(50)), millis(getPercentileNanos(99)), millis(getPercentileNanos(100)),
+                millis(getHighPriorityPercentileNanos(50)), millis(getHighPriorityPercentileNanos(99)), millis(getHighPriorityPercentileNanos(100)),
+                STARVATION_THRESHOLD_MILLIS / 1000, starvedGrants, stillWaitingStarved);
+    }
+
+    private static long percentile(long[] samples, int count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,8 @@
+package einstein.models;
+
+import java.util.List;
+
+// Decide qual processo da fila recebe a próxima instância liberada de um recurso.
+public interface GrantingPolicy {
+    ResourceWaiter selectNext(List<ResourceWaiter> waiters, long nowNanos);
+}
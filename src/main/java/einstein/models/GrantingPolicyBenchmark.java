@@ -0,0 +1,76 @@
+package einstein.models;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara as políticas de concessão sob contenção: poucos processos de alta prioridade disputam
+ * um recurso escasso com muitos de baixa prioridade, e o tempo de espera de cada grupo é medido.
+ */
+public class GrantingPolicyBenchmark {
+    private static final int INSTANCES = 2;
+    private static final int HIGH_PRIORITY_PROCESSES = 2;
+    private static final int LOW_PRIORITY_PROCESSES = 14;
+    private static final long RUN_MILLIS = 2_000;
+    private static final long STARVATION_MILLIS = 1_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        PrintStream console = System.out;
+        List<String> rows = new ArrayList<>();
+        for (StandardGrantingPolicy policy : StandardGrantingPolicy.values()) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream())); // O gerenciador registra cada operação no console
+            try {
+                rows.add(run(policy));
+            } finally {
+                System.setOut(console);
+            }
+        }
+
+        System.out.println("política | alta p50/p99/máx (ms) | todas p99/máx (ms) | aguardando > " + STARVATION_MILLIS + " ms no fim");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(StandardGrantingPolicy policy) throws InterruptedException {
+        int processCount = HIGH_PRIORITY_PROCESSES + LOW_PRIORITY_PROCESSES;
+        GerenciadorRecursos manager = new GerenciadorRecursos(new Recurso[]{new Recurso(0, "R0", INSTANCES)}, processCount, null);
+        manager.setGrantingPolicy(policy);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int processId = 1; processId <= processCount; processId++) {
+            int priority = processId <= HIGH_PRIORITY_PROCESSES ? 9 : 0;
+            long usageMillis = 1 + processId % 4;
+            int id = processId;
+            Thread worker = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (manager.requestResource(id, 0, priority, usageMillis) == null) {
+                        return;
+                    }
+                    try {
+                        Thread.sleep(usageMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    manager.releaseResource(id, 0);
+                }
+            });
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+        Thread.sleep(RUN_MILLIS);
+
+        int starving = manager.availableResources[0].countWaitingLongerThan(STARVATION_MILLIS * 1_000_000);
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        GrantMetrics metrics = manager.getGrantMetrics();
+        return String.format("%-30s | %6.1f / %6.1f / %6.1f | %7.1f / %7.1f | %d", policy,
+                metrics.getHighPriorityPercentileNanos(50) / 1e6, metrics.getHighPriorityPercentileNanos(99) / 1e6,
+                metrics.getHighPriorityPercentileNanos(100) / 1e6,
+                metrics.getPercentileNanos(99) / 1e6, metrics.getPercentileNanos(100) / 1e6, starving);
+    }
+}
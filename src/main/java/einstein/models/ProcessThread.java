@@ -7,26 +7,52 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
-public class ProcessThread extends Thread {
+// Executado por um worker reaproveitado do ProcessLifecycleManager, não por uma thread própria.
+public class ProcessThread implements Runnable {
     private final int processId;
     private final int requestIntervalSeconds;
     private final int usageIntervalSeconds;
+    private final int priority;
     private final GerenciadorRecursos resourceManager;
     private final MainController controller;
     private volatile boolean isRunning = true;
+    private Thread worker; // Worker que executa o processo no momento (protegido por this)
     private volatile Recurso waitingForResource = null;
     private final List<Recurso> allocatedResourcesList = new ArrayList<>();
 
     public ProcessThread(int processId, int requestIntervalSeconds, int usageIntervalSeconds, GerenciadorRecursos resourceManager, MainController controller) {
+        this(processId, requestIntervalSeconds, usageIntervalSeconds, 0, resourceManager, controller);
+    }
+
+    public ProcessThread(int processId, int requestIntervalSeconds, int usageIntervalSeconds, int priority, GerenciadorRecursos resourceManager, MainController controller) {
         this.processId = processId;
         this.requestIntervalSeconds = requestIntervalSeconds;
         this.usageIntervalSeconds = usageIntervalSeconds;
+        this.priority = priority;
         this.resourceManager = resourceManager;
         this.controller = controller;
     }
 
     @Override
     public void run() {
+        synchronized (this) {
+            if (!isRunning) {
+                return;
+            }
+            worker = Thread.currentThread();
+        }
+        try {
+            runProcessLoop();
+        } finally {
+            synchronized (this) {
+                worker = null;
+            }
+            // Limpa uma interrupção tardia para o worker voltar limpo ao pool.
+            Thread.interrupted();
+        }
+    }
+
+    private void runProcessLoop() {
         Random random = new Random();
         List<Recurso> allAvailableResourceTypes = new ArrayList<>(resourceManager.getAvailableResourceTypes());
 
@@ -46,7 +72,7 @@ public class ProcessThread extends Thread {
                 log("solicitou recurso " + requestedResource.getResourceName() + " (ID: " + requestedResource.getResourceId() + ")");
                 setWaitingForResource(requestedResource);
 
-                Recurso acquiredResource = resourceManager.requestResource(this.processId, requestedResource.getResourceId());
+                Recurso acquiredResource = resourceManager.requestResource(this.processId, requestedResource.getResourceId(), priority, usageIntervalSeconds * 1000L);
 
                 if (acquiredResource != null) {
                     setWaitingForResource(null);
@@ -59,19 +85,14 @@ public class ProcessThread extends Thread {
                     allocatedResourcesList.remove(acquiredResource);
                     log("liberou recurso " + acquiredResource.getResourceName() + " (ID: " + acquiredResource.getResourceId() + ")");
                 } else {
-                    log("falhou ao alocar recurso " + requestedResource.getResourceName() + ". Processo pode ter sido interrompido ou recurso indisponvel.");
+                    log("falhou ao alocar recurso " + requestedResource.getResourceName() + ". Processo pode ter sido interrompido ou recurso indisponível.");
                     setWaitingForResource(null);
                 }
 
             } catch (InterruptedException e) {
+                // As instâncias em posse são liberadas uma única vez pelo ProcessLifecycleManager, após o término.
                 log("foi interrompido.");
                 Thread.currentThread().interrupt();
-                for (Recurso res : new ArrayList<>(allocatedResourcesList)) {
-                    resourceManager.releaseResource(this.processId, res.getResourceId());
-                }
-                allocatedResourcesList.clear();
-                resourceManager.clearRequests(this.processId);
-                resourceManager.clearAllocations(this.processId);
                 setWaitingForResource(null);
                 return;
             } catch (Exception e) {
@@ -82,19 +103,27 @@ public class ProcessThread extends Thread {
         }
     }
 
-    public void stopProcessExecution() {
+    public synchronized void stopProcessExecution() {
         isRunning = false;
-        this.interrupt();
+        if (worker != null) {
+            worker.interrupt();
+        }
     }
 
     private void log(String message) {
-        Platform.runLater(() -> controller.addLog("Processo " + processId + ": " + message));
+        if (controller != null) {
+            Platform.runLater(() -> controller.addLog("Processo " + processId + ": " + message));
+        }
     }
 
     public int getProcessId() {
         return processId;
     }
 
+    public int getProcessPriority() {
+        return priority;
+    }
+
     public Recurso getWaitingForResource() {
         return waitingForResource;
     }
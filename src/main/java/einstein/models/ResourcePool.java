@@ -0,0 +1,122 @@
+package einstein.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instâncias disponíveis de um tipo de recurso. Substitui o {@code Semaphore}: quem espera fica numa fila
+ * explícita e a {@link GrantingPolicy} escolhe quem recebe cada instância liberada.
+ */
+public class ResourcePool {
+    private final List<ResourceWaiter> waiters = new ArrayList<>();
+    private GrantMetrics metrics;
+    private GrantingPolicy policy;
+    private int total;
+    private int permits;
+    private int pendingShrink = 0; // Instâncias removidas que ainda estão alocadas; são descartadas ao serem liberadas
+    private long nextSequence = 0;
+
+    public ResourcePool(int permits, GrantingPolicy policy, GrantMetrics metrics) {
+        this.total = permits;
+        this.permits = permits;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    public synchronized void acquire(int processId, int priority, long expectedUsageMillis) throws InterruptedException {
+        if (permits > 0 && waiters.isEmpty()) {
+            permits--;
+            metrics.recordGrant(priority, 0);
+            return;
+        }
+        ResourceWaiter waiter = new ResourceWaiter(processId, priority, expectedUsageMillis, System.nanoTime(), nextSequence++);
+        waiters.add(waiter);
+        try {
+            while (!waiter.isGranted()) {
+                wait();
+            }
+            // Registrada só aqui: uma concessão devolvida por interrupção não conta como atendida.
+            metrics.recordGrant(priority, waiter.getWaitNanos());
+        } catch (InterruptedException e) {
+            if (waiter.isGranted()) {
+                // A instância chegou junto com a interrupção: devolve como uma liberação comum,
+                // que primeiro quita um encolhimento pendente.
+                release(1);
+            } else {
+                waiters.remove(waiter);
+            }
+            throw e;
+        }
+    }
+
+    public synchronized void release(int count) {
+        int absorbed = Math.min(pendingShrink, count);
+        pendingShrink -= absorbed;
+        permits += count - absorbed;
+        dispatch();
+    }
+
+    // Redimensiona sem trocar a fila: crescer acorda quem espera; encolher retira instâncias livres
+    // e o restante é drenado conforme as alocações atuais forem liberadas.
+    public synchronized void resize(int newTotal) {
+        int delta = newTotal - total;
+        total = newTotal;
+        if (delta >= 0) {
+            int restored = Math.min(pendingShrink, delta);
+            pendingShrink -= restored;
+            permits += delta - restored;
+            dispatch();
+        } else {
+            int removedNow = Math.min(permits, -delta);
+            permits -= removedNow;
+            pendingShrink += -delta - removedNow;
+        }
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    public synchronized int getPendingShrink() {
+        return pendingShrink;
+    }
+
+    public void release() {
+        release(1);
+    }
+
+    public synchronized int availablePermits() {
+        return permits;
+    }
+
+    // Bloqueado de fato: está na fila e não há instância livre que possa ser concedida a ele.
+    public synchronized boolean isWaiting(int processId) {
+        return permits == 0 && waiters.stream().anyMatch(w -> w.getProcessId() == processId);
+    }
+
+    public synchronized int countWaitingLongerThan(long nanos) {
+        long now = System.nanoTime();
+        return (int) waiters.stream().filter(w -> now - w.getEnqueuedAtNanos() > nanos).count();
+    }
+
+    public synchronized void setPolicy(GrantingPolicy policy, GrantMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+        dispatch();
+    }
+
+    private void dispatch() {
+        boolean grantedAny = false;
+        while (permits > 0 && !waiters.isEmpty()) {
+            long now = System.nanoTime();
+            ResourceWaiter next = policy.selectNext(waiters, now);
+            waiters.remove(next);
+            permits--;
+            next.grant(now);
+            grantedAny = true;
+        }
+        if (grantedAny) {
+            notifyAll();
+        }
+    }
+}
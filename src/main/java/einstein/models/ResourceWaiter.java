@@ -0,0 +1,52 @@
+package einstein.models;
+
+public class ResourceWaiter {
+    private final int processId;
+    private final int priority;
+    private final long expectedUsageMillis;
+    private final long enqueuedAtNanos;
+    private final long sequence; // Ordem de chegada, usada como desempate por todas as políticas
+    private boolean granted = false;
+    private long grantedAtNanos;
+
+    public ResourceWaiter(int processId, int priority, long expectedUsageMillis, long enqueuedAtNanos, long sequence) {
+        this.processId = processId;
+        this.priority = priority;
+        this.expectedUsageMillis = expectedUsageMillis;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+        this.sequence = sequence;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getExpectedUsageMillis() {
+        return expectedUsageMillis;
+    }
+
+    public long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    boolean isGranted() {
+        return granted;
+    }
+
+    long getWaitNanos() {
+        return grantedAtNanos - enqueuedAtNanos;
+    }
+
+    void grant(long nowNanos) {
+        granted = true;
+        grantedAtNanos = nowNanos;
+    }
+}
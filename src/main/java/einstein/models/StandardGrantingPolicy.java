@@ -0,0 +1,57 @@
+package einstein.models;
+
+import java.util.Comparator;
+import java.util.List;
+
+public enum StandardGrantingPolicy implements GrantingPolicy {
+    FIFO("FIFO (justa)") {
+        @Override
+        public ResourceWaiter selectNext(List<ResourceWaiter> waiters, long nowNanos) {
+            return waiters.stream().min(ARRIVAL_ORDER).orElse(null);
+        }
+    },
+    PRIORITY("Prioridade") {
+        @Override
+        public ResourceWaiter selectNext(List<ResourceWaiter> waiters, long nowNanos) {
+            return waiters.stream()
+                    .min(Comparator.comparingInt(ResourceWaiter::getPriority).reversed().thenComparing(ARRIVAL_ORDER))
+                    .orElse(null);
+        }
+    },
+    AGING("Prioridade com envelhecimento") {
+        @Override
+        public ResourceWaiter selectNext(List<ResourceWaiter> waiters, long nowNanos) {
+            // A cada AGING_INTERVAL_MILLIS de espera o processo ganha um nível de prioridade.
+            return waiters.stream()
+                    .min(Comparator.comparingLong((ResourceWaiter w) -> -agedPriority(w, nowNanos)).thenComparing(ARRIVAL_ORDER))
+                    .orElse(null);
+        }
+    },
+    SHORTEST_JOB("Menor tempo de uso") {
+        @Override
+        public ResourceWaiter selectNext(List<ResourceWaiter> waiters, long nowNanos) {
+            return waiters.stream()
+                    .min(Comparator.comparingLong(ResourceWaiter::getExpectedUsageMillis).thenComparing(ARRIVAL_ORDER))
+                    .orElse(null);
+        }
+    };
+
+    public static final long AGING_INTERVAL_MILLIS = 250;
+    private static final Comparator<ResourceWaiter> ARRIVAL_ORDER = Comparator.comparingLong(ResourceWaiter::getSequence);
+
+    private final String displayName;
+
+    StandardGrantingPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    private static long agedPriority(ResourceWaiter waiter, long nowNanos) {
+        long waitedMillis = (nowNanos - waiter.getEnqueuedAtNanos()) / 1_000_000;
+        return waiter.getPriority() + waitedMillis / AGING_INTERVAL_MILLIS;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -31,6 +31,7 @@ public class OperatingSystemMonitor extends Thread {
 
     private void performDeadlockCheck() {
         List<Integer> deadlockedProcessIds = resourceManager.detectDeadlock();
+        controller.updateDeadlockedProcesses(deadlockedProcessIds);
 
         if (deadlockedProcessIds.isEmpty()) {
             Platform.runLater(() -> controller.updateDeadlockStatus("Nenhum"));
@@ -0,0 +1,70 @@
+package einstein.os;
+
+import einstein.models.GerenciadorRecursos;
+import einstein.models.ProcessThread;
+import einstein.models.Recurso;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inicia e encerra milhares de processos em lote, duas rodadas seguidas, e confere que os workers
+ * são reaproveitados e que nenhuma instância fica alocada depois da parada.
+ */
+public class ProcessLifecycleBenchmark {
+    private static final int PROCESS_COUNT = 5_000;
+    private static final int RESOURCE_TYPES = 10;
+    private static final int INSTANCES_PER_RESOURCE = 200;
+    private static final int ROUNDS = 2;
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = System.out;
+        Recurso[] resources = new Recurso[RESOURCE_TYPES];
+        for (int r = 0; r < RESOURCE_TYPES; r++) {
+            resources[r] = new Recurso(r, "R" + r, INSTANCES_PER_RESOURCE);
+        }
+        GerenciadorRecursos resourceManager = new GerenciadorRecursos(resources, PROCESS_COUNT, null);
+        ProcessLifecycleManager lifecycle = new ProcessLifecycleManager(resourceManager);
+
+        List<String> rows = new ArrayList<>();
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream())); // O gerenciador registra cada operação no console
+            try {
+                List<ProcessThread> processes = new ArrayList<>();
+                for (int id = 1; id <= PROCESS_COUNT; id++) {
+                    processes.add(new ProcessThread(id, 1, 1, resourceManager, null));
+                }
+                long startBegin = System.nanoTime();
+                lifecycle.startAll(processes);
+                long startNanos = System.nanoTime() - startBegin;
+
+                Thread.sleep(1_500); // Tempo para os processos requisitarem e manterem instâncias
+                int heldBeforeStop = countHeld(resourceManager);
+
+                long stopBegin = System.nanoTime();
+                lifecycle.stopAll().get();
+                long stopNanos = System.nanoTime() - stopBegin;
+
+                rows.add(String.format("%6d | %10.1f | %10.1f | %10d | %10d | %d", round, startNanos / 1e6, stopNanos / 1e6,
+                        heldBeforeStop, countHeld(resourceManager), lifecycle.getCreatedWorkerCount()));
+            } finally {
+                System.setOut(console);
+            }
+        }
+        lifecycle.shutdown();
+
+        System.out.println("rodada | início (ms) | parada (ms) | em posse antes | em posse depois | workers criados");
+        rows.forEach(System.out::println);
+    }
+
+    private static int countHeld(GerenciadorRecursos resourceManager) {
+        int held = 0;
+        int[] available = resourceManager.getAvailableResourcesArray();
+        for (int r = 0; r < RESOURCE_TYPES; r++) {
+            held += resourceManager.totalResources[r] - available[r];
+        }
+        return held;
+    }
+}
@@ -0,0 +1,136 @@
+package einstein.os;
+
+import einstein.models.GerenciadorRecursos;
+import einstein.models.ProcessThread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cria e encerra processos em lote sobre um pool de workers reaproveitados.
+ * As instâncias mantidas por um processo são liberadas exatamente uma vez, depois que ele termina:
+ * quem remove o processo do mapa de ativos é o único responsável pela liberação. Até ela acontecer o ID fica
+ * reservado, para que um novo processo com o mesmo ID não tenha sua linha das matrizes zerada.
+ */
+public class ProcessLifecycleManager {
+    private final GerenciadorRecursos resourceManager;
+    private final ExecutorService workers;
+    private final Map<Integer, ProcessThread> activeProcesses = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+    private final Set<Integer> stoppingProcesses = ConcurrentHashMap.newKeySet(); // Parados, aguardando a liberação
+
+    public ProcessLifecycleManager(GerenciadorRecursos resourceManager) {
+        this.resourceManager = resourceManager;
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(task -> {
+            Thread worker = new Thread(task, "processo-worker-" + workerCount.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    public Map<Integer, ProcessThread> getActiveProcesses() {
+        return Collections.unmodifiableMap(activeProcesses);
+    }
+
+    // Ativo ou ainda aguardando a liberação das instâncias de uma parada anterior.
+    public boolean isReserved(int processId) {
+        return activeProcesses.containsKey(processId) || stoppingProcesses.contains(processId);
+    }
+
+    public boolean start(ProcessThread process) {
+        return !startAll(List.of(process)).isEmpty();
+    }
+
+    // Processos com ID reservado são ignorados; retorna os que de fato foram iniciados.
+    public synchronized List<ProcessThread> startAll(Collection<ProcessThread> processes) {
+        List<ProcessThread> started = new ArrayList<>();
+        for (ProcessThread process : processes) {
+            int processId = process.getProcessId();
+            if (isReserved(processId)) {
+                continue;
+            }
+            activeProcesses.put(processId, process);
+            started.add(process);
+            CompletableFuture<Void> completion = CompletableFuture.runAsync(process, workers);
+            completions.put(processId, completion);
+            // Processo que terminou sozinho (erro inesperado): ainda está no mapa e suas instâncias são liberadas aqui.
+            completion.whenComplete((result, error) -> {
+                boolean[] finishedAlone = {false};
+                // Reserva o ID antes de tirá-lo do mapa, na mesma operação atômica: não há janela sem nenhum dos dois.
+                activeProcesses.computeIfPresent(processId, (id, current) -> {
+                    if (current != process) {
+                        return current;
+                    }
+                    stoppingProcesses.add(id);
+                    finishedAlone[0] = true;
+                    return null;
+                });
+                if (finishedAlone[0]) {
+                    completions.remove(processId, completion);
+                    releaseReserved(List.of(processId));
+                }
+            });
+        }
+        return started;
+    }
+
+    public CompletableFuture<Void> stop(int processId) {
+        return stopAll(List.of(processId));
+    }
+
+    public CompletableFuture<Void> stopAll() {
+        return stopAll(new ArrayList<>(activeProcesses.keySet()));
+    }
+
+    // Interrompe todos de uma vez e, quando o último terminar, libera as instâncias de todos numa única atualização.
+    public synchronized CompletableFuture<Void> stopAll(Collection<Integer> processIds) {
+        List<Integer> stoppedIds = new ArrayList<>();
+        List<CompletableFuture<Void>> stoppedCompletions = new ArrayList<>();
+        for (int processId : processIds) {
+            if (!stoppingProcesses.add(processId)) {
+                continue; // Já está sendo encerrado
+            }
+            ProcessThread process = activeProcesses.remove(processId);
+            if (process == null) {
+                stoppingProcesses.remove(processId);
+                continue;
+            }
+            process.stopProcessExecution();
+            stoppedIds.add(processId);
+            stoppedCompletions.add(completions.remove(processId));
+        }
+        if (stoppedIds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(stoppedCompletions.toArray(new CompletableFuture<?>[0]))
+                .handle((result, error) -> null)
+                .thenRun(() -> releaseReserved(stoppedIds));
+    }
+
+    private void releaseReserved(List<Integer> processIds) {
+        try {
+            resourceManager.releaseAllHoldings(processIds);
+        } finally {
+            stoppingProcesses.removeAll(processIds);
+        }
+    }
+
+    public int getCreatedWorkerCount() {
+        return ((ThreadPoolExecutor) workers).getLargestPoolSize();
+    }
+
+    public void shutdown() {
+        stopAll().whenComplete((result, error) -> workers.shutdown());
+    }
+}
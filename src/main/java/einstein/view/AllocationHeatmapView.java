@@ -0,0 +1,191 @@
+package einstein.view;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Mapa de calor das matrizes de alocação (esquerda) e requisição (direita).
+ * Cada célula guarda o último valor desenhado; apenas as células que mudaram são repintadas.
+ */
+public class AllocationHeatmapView extends CanvasView {
+    private static final double HEADER_HEIGHT = 18.0;
+    private static final double PANEL_GAP = 16.0;
+    private static final double MARKER_WIDTH = 4.0;
+    private static final int PALETTE_STEPS = 32;
+
+    private static final Color BACKGROUND = Color.web("#f4f4f4");
+    private static final Color UNCONFIGURED = Color.web("#dcdcdc");
+    private static final Color DEADLOCK = Color.web("#c0392b");
+    private static final Color[] ALLOCATION_PALETTE = buildPalette(Color.web("#2980b9"));
+    private static final Color[] REQUEST_PALETTE = buildPalette(Color.web("#e67e22"));
+
+    private int[] totalResources = new int[0];
+    private int[][] allocationMatrix = new int[0][0];
+    private int[][] requestMatrix = new int[0][0];
+    private boolean[] deadlockedRows = new boolean[0];
+
+    private boolean[][] dirtyCells = new boolean[0][0];
+    private boolean[] dirtyMarkers = new boolean[0];
+    private Set<Integer> deadlockedProcessIds = new HashSet<>();
+
+    public AllocationHeatmapView() {
+        super(1);
+    }
+
+    public void update(int[] totalRes, int[][] allocMatrix, int[][] reqMatrix) {
+        int processCount = allocMatrix.length;
+        int resourceCount = totalRes.length;
+        if (processCount != allocationMatrix.length || resourceCount != totalResources.length) {
+            totalResources = new int[resourceCount];
+            allocationMatrix = new int[processCount][resourceCount];
+            requestMatrix = new int[processCount][resourceCount];
+            deadlockedRows = new boolean[processCount];
+            dirtyCells = new boolean[processCount][resourceCount];
+            dirtyMarkers = new boolean[processCount];
+            applyDeadlockedRows();
+            copyState(totalRes, allocMatrix, reqMatrix);
+            requestFullRedraw();
+            return;
+        }
+
+        boolean changed = false;
+        for (int j = 0; j < resourceCount; j++) {
+            if (totalResources[j] != totalRes[j]) {
+                totalResources[j] = totalRes[j];
+                for (int i = 0; i < processCount; i++) {
+                    dirtyCells[i][j] = true;
+                }
+                changed = true;
+            }
+        }
+        for (int i = 0; i < processCount; i++) {
+            for (int j = 0; j < resourceCount; j++) {
+                if (allocationMatrix[i][j] != allocMatrix[i][j] || requestMatrix[i][j] != reqMatrix[i][j]) {
+                    allocationMatrix[i][j] = allocMatrix[i][j];
+                    requestMatrix[i][j] = reqMatrix[i][j];
+                    dirtyCells[i][j] = true;
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            requestRedraw();
+        }
+    }
+
+    public void setDeadlockedProcesses(Collection<Integer> processIds) {
+        deadlockedProcessIds = new HashSet<>(processIds);
+        if (applyDeadlockedRows()) {
+            requestRedraw();
+        }
+    }
+
+    private boolean applyDeadlockedRows() {
+        boolean changed = false;
+        for (int i = 0; i < deadlockedRows.length; i++) {
+            boolean deadlocked = deadlockedProcessIds.contains(i + 1);
+            if (deadlockedRows[i] != deadlocked) {
+                deadlockedRows[i] = deadlocked;
+                dirtyMarkers[i] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void copyState(int[] totalRes, int[][] allocMatrix, int[][] reqMatrix) {
+        System.arraycopy(totalRes, 0, totalResources, 0, totalRes.length);
+        for (int i = 0; i < allocMatrix.length; i++) {
+            System.arraycopy(allocMatrix[i], 0, allocationMatrix[i], 0, totalRes.length);
+            System.arraycopy(reqMatrix[i], 0, requestMatrix[i], 0, totalRes.length);
+        }
+    }
+
+    @Override
+    protected void render(boolean full) {
+        GraphicsContext gc = getLayer(0).getGraphicsContext2D();
+        int processCount = allocationMatrix.length;
+        int resourceCount = totalResources.length;
+
+        if (full) {
+            gc.setFill(BACKGROUND);
+            gc.fillRect(0, 0, getWidth(), getHeight());
+            gc.setFill(Color.BLACK);
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.setTextBaseline(VPos.TOP);
+            gc.fillText("Alocação", panelX(0), 2);
+            gc.fillText("Requisição", panelX(1), 2);
+        }
+        if (processCount == 0 || resourceCount == 0) {
+            return;
+        }
+
+        double cellWidth = panelWidth() / resourceCount;
+        double cellHeight = (getHeight() - HEADER_HEIGHT) / processCount;
+        boolean drawGrid = cellWidth >= 6 && cellHeight >= 6;
+        boolean drawValues = cellWidth >= 14 && cellHeight >= 14;
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < processCount; i++) {
+            double y = HEADER_HEIGHT + i * cellHeight;
+            if (full || dirtyMarkers[i]) {
+                dirtyMarkers[i] = false;
+                for (int panel = 0; panel < 2; panel++) {
+                    gc.setFill(deadlockedRows[i] ? DEADLOCK : BACKGROUND);
+                    gc.fillRect(panelX(panel) - MARKER_WIDTH - 1, y, MARKER_WIDTH, cellHeight);
+                }
+            }
+            for (int j = 0; j < resourceCount; j++) {
+                if (!full && !dirtyCells[i][j]) {
+                    continue;
+                }
+                dirtyCells[i][j] = false;
+                double x = j * cellWidth;
+                drawCell(gc, panelX(0) + x, y, cellWidth, cellHeight, allocationMatrix[i][j], totalResources[j], ALLOCATION_PALETTE, drawGrid, drawValues);
+                drawCell(gc, panelX(1) + x, y, cellWidth, cellHeight, requestMatrix[i][j], totalResources[j], REQUEST_PALETTE, drawGrid, drawValues);
+            }
+        }
+    }
+
+    private void drawCell(GraphicsContext gc, double x, double y, double w, double h, int value, int total,
+                          Color[] palette, boolean drawGrid, boolean drawValues) {
+        if (total <= 0) {
+            gc.setFill(UNCONFIGURED);
+        } else {
+            int step = (int) Math.round(Math.min(1.0, (double) value / total) * PALETTE_STEPS);
+            gc.setFill(palette[step]);
+        }
+        gc.fillRect(x, y, w, h);
+        if (drawGrid) {
+            gc.setStroke(BACKGROUND);
+            gc.strokeRect(x, y, w, h);
+        }
+        if (drawValues && value > 0) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(String.valueOf(value), x + w / 2, y + h / 2);
+        }
+    }
+
+    private double panelWidth() {
+        return Math.max(0, (getWidth() - PANEL_GAP - 2 * (MARKER_WIDTH + 1)) / 2);
+    }
+
+    private double panelX(int panel) {
+        return MARKER_WIDTH + 1 + panel * (panelWidth() + PANEL_GAP + MARKER_WIDTH + 1);
+    }
+
+    private static Color[] buildPalette(Color base) {
+        Color[] palette = new Color[PALETTE_STEPS + 1];
+        for (int i = 0; i <= PALETTE_STEPS; i++) {
+            palette[i] = Color.WHITE.interpolate(base, (double) i / PALETTE_STEPS);
+        }
+        return palette;
+    }
+}
@@ -0,0 +1,68 @@
+package einstein.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.layout.Pane;
+
+/**
+ * Base para as visualizações desenhadas em {@link Canvas}.
+ * As atualizações de estado apenas marcam a visão como "suja"; o desenho acontece
+ * no máximo uma vez por pulso do JavaFX, dentro do {@link AnimationTimer}.
+ */
+public abstract class CanvasView extends Pane {
+    private final Canvas[] layers;
+    private boolean redrawRequested = false;
+    private boolean fullRedrawRequested = true;
+
+    protected CanvasView(int layerCount) {
+        layers = new Canvas[layerCount];
+        for (int i = 0; i < layerCount; i++) {
+            layers[i] = new Canvas();
+            getChildren().add(layers[i]);
+        }
+        setMinSize(0, 0);
+
+        widthProperty().addListener((obs, oldValue, newValue) -> requestFullRedraw());
+        heightProperty().addListener((obs, oldValue, newValue) -> requestFullRedraw());
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (!redrawRequested) {
+                    return;
+                }
+                boolean full = fullRedrawRequested;
+                redrawRequested = false;
+                fullRedrawRequested = false;
+                render(full);
+            }
+        }.start();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        for (Canvas layer : layers) {
+            layer.setWidth(getWidth());
+            layer.setHeight(getHeight());
+        }
+    }
+
+    protected Canvas getLayer(int index) {
+        return layers[index];
+    }
+
+    protected void requestRedraw() {
+        redrawRequested = true;
+    }
+
+    protected void requestFullRedraw() {
+        fullRedrawRequested = true;
+        redrawRequested = true;
+    }
+
+    /**
+     * Desenha o estado atual. Quando {@code full} é falso, somente as partes marcadas
+     * como alteradas desde o último quadro precisam ser redesenhadas.
+     */
+    protected abstract void render(boolean full);
+}
@@ -0,0 +1,101 @@
+package einstein.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Mede a taxa de quadros das visualizações em canvas com milhares de processos: a cada pulso uma parte
+ * das matrizes muda e o intervalo entre pulsos é registrado. Uso: {@code grafo} (padrão) ou {@code mapa}.
+ */
+public class CanvasViewBenchmark extends Application {
+    private static final int PROCESS_COUNT = 5_000;
+    private static final int RESOURCE_COUNT = 50;
+    private static final int CHANGES_PER_FRAME = 200;
+    private static final long RUN_NANOS = 10_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        boolean heatmap = getParameters().getRaw().contains("mapa");
+        ResourceAllocationGraphView graphView = new ResourceAllocationGraphView();
+        AllocationHeatmapView heatmapView = new AllocationHeatmapView();
+
+        int[] totalResources = new int[RESOURCE_COUNT];
+        int[] availableResources = new int[RESOURCE_COUNT];
+        Arrays.fill(totalResources, 100);
+        int[][] allocationMatrix = new int[PROCESS_COUNT][RESOURCE_COUNT];
+        int[][] requestMatrix = new int[PROCESS_COUNT][RESOURCE_COUNT];
+        Set<Integer> processIds = new HashSet<>();
+        for (int id = 1; id <= PROCESS_COUNT; id++) {
+            processIds.add(id);
+        }
+
+        stage.setScene(new Scene(new StackPane(heatmap ? heatmapView : graphView), 1200, 900));
+        stage.setTitle("Benchmark: " + (heatmap ? "mapa de calor" : "grafo") + " com " + PROCESS_COUNT + " processos");
+        stage.show();
+
+        Random random = new Random(42);
+        long[] frameNanos = new long[100_000];
+        new AnimationTimer() {
+            private long first = 0;
+            private long previous = 0;
+            private int frames = 0;
+
+            @Override
+            public void handle(long now) {
+                for (int k = 0; k < CHANGES_PER_FRAME; k++) {
+                    int i = random.nextInt(PROCESS_COUNT);
+                    int j = random.nextInt(RESOURCE_COUNT);
+                    // Matrizes esparsas, como na simulação: cada processo mantém ou espera por poucos recursos.
+                    allocationMatrix[i][j] = random.nextInt(RESOURCE_COUNT) == 0 ? 1 + random.nextInt(2) : 0;
+                    requestMatrix[i][j] = random.nextInt(2 * RESOURCE_COUNT) == 0 ? 1 : 0;
+                }
+                for (int j = 0; j < RESOURCE_COUNT; j++) {
+                    availableResources[j] = random.nextInt(totalResources[j] + 1);
+                }
+                if (heatmap) {
+                    heatmapView.update(totalResources, allocationMatrix, requestMatrix);
+                    heatmapView.setDeadlockedProcesses(List.of(random.nextInt(PROCESS_COUNT) + 1));
+                } else {
+                    graphView.update(processIds, totalResources, availableResources, allocationMatrix, requestMatrix);
+                    graphView.setDeadlockedProcesses(List.of(random.nextInt(PROCESS_COUNT) + 1));
+                }
+
+                if (previous != 0 && frames < frameNanos.length) {
+                    frameNanos[frames++] = now - previous;
+                }
+                if (first == 0) {
+                    first = now;
+                }
+                previous = now;
+                if (now - first >= RUN_NANOS) {
+                    stop();
+                    report(Arrays.copyOf(frameNanos, frames), now - first);
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    private static void report(long[] frameNanos, long elapsedNanos) {
+        Arrays.sort(frameNanos);
+        int count = frameNanos.length;
+        System.out.printf("quadros: %d | fps médio: %.1f | intervalo p50/p99/máx: %.1f/%.1f/%.1f ms%n",
+                count, count / (elapsedNanos / 1e9),
+                frameNanos[count / 2] / 1e6, frameNanos[Math.max(0, (int) Math.ceil(count * 0.99) - 1)] / 1e6,
+                frameNanos[count - 1] / 1e6);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,307 @@
+package einstein.view;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Grafo de alocação de recursos: processos (círculos) na faixa superior, recursos (quadrados) na inferior.
+ * Arestas de atribuição (R -> P) e de requisição (P -> R) ficam numa camada própria, redesenhada quando o
+ * conjunto de arestas muda, no máximo algumas vezes por segundo: cada aresta atravessa as duas faixas, então
+ * não há redesenho parcial, e com milhares de processos mudando a cada pulso a camada inteira custaria todo quadro.
+ * Os nós são repintados individualmente, célula a célula, em todo quadro.
+ */
+public class ResourceAllocationGraphView extends CanvasView {
+    private static final int EDGE_LAYER = 0;
+    private static final int NODE_LAYER = 1;
+    private static final double PROCESS_BAND = 0.55;
+    private static final double MAX_RADIUS = 18.0;
+    private static final long EDGE_REFRESH_NANOS = 200_000_000L;
+
+    private static final int STATE_HIDDEN = 0;
+    private static final int STATE_IDLE = 1;
+    private static final int STATE_HOLDING = 2;
+    private static final int STATE_WAITING = 3;
+    private static final int STATE_DEADLOCKED = 4;
+
+    private static final Color IDLE_COLOR = Color.web("#95a5a6");
+    private static final Color HOLDING_COLOR = Color.web("#27ae60");
+    private static final Color WAITING_COLOR = Color.web("#f39c12");
+    private static final Color DEADLOCK_COLOR = Color.web("#c0392b");
+    private static final Color RESOURCE_COLOR = Color.web("#2c3e50");
+    private static final Color ALLOCATION_EDGE_COLOR = Color.web("#2980b9", 0.6);
+    private static final Color REQUEST_EDGE_COLOR = Color.web("#e67e22", 0.6);
+
+    private Set<Integer> processIds = new HashSet<>();
+    private Set<Integer> deadlockedProcessIds = new HashSet<>();
+    private int[] totalResources = new int[0];
+    private int[] availableResources = new int[0];
+    private int[][] allocationMatrix = new int[0][0];
+    private int[][] requestMatrix = new int[0][0];
+
+    private int[] processStates = new int[0];
+    private int[] drawnProcessStates = new int[0];
+    private int[] drawnResourceUsage = new int[0];
+    private int[] drawnResourceTotals = new int[0];
+    private boolean edgesChanged = true;
+    private long lastEdgeRedrawNanos = 0;
+    private boolean[] visible = new boolean[0];
+    private boolean[] deadlocked = new boolean[0];
+
+    private double[] processX = new double[0];
+    private double[] processY = new double[0];
+    private double[] resourceX = new double[0];
+    private double[] resourceY = new double[0];
+    private double processRadius;
+    private double resourceRadius;
+
+    public ResourceAllocationGraphView() {
+        super(2);
+    }
+
+    public void update(Collection<Integer> activeProcessIds, int[] totalRes, int[] availableRes, int[][] allocMatrix, int[][] reqMatrix) {
+        int processCount = allocMatrix.length;
+        int resourceCount = totalRes.length;
+        if (processCount != allocationMatrix.length || resourceCount != totalResources.length) {
+            allocationMatrix = new int[processCount][resourceCount];
+            requestMatrix = new int[processCount][resourceCount];
+            processStates = new int[processCount];
+            visible = new boolean[processCount];
+            deadlocked = new boolean[processCount];
+            drawnProcessStates = new int[processCount];
+            drawnResourceUsage = new int[resourceCount];
+            drawnResourceTotals = new int[resourceCount];
+            requestFullRedraw();
+        }
+
+        Set<Integer> newIds = new HashSet<>(activeProcessIds);
+        if (!processIds.equals(newIds)) {
+            // Arestas de processos ocultos não são desenhadas: a camada depende deste conjunto.
+            processIds = newIds;
+            edgesChanged = true;
+        }
+        totalResources = totalRes.clone();
+        availableResources = availableRes.clone();
+        for (int i = 0; i < processCount; i++) {
+            for (int j = 0; j < resourceCount; j++) {
+                if ((allocationMatrix[i][j] > 0) != (allocMatrix[i][j] > 0) || (requestMatrix[i][j] > 0) != (reqMatrix[i][j] > 0)) {
+                    edgesChanged = true;
+                }
+                allocationMatrix[i][j] = allocMatrix[i][j];
+                requestMatrix[i][j] = reqMatrix[i][j];
+            }
+        }
+        requestRedraw();
+    }
+
+    public void setDeadlockedProcesses(Collection<Integer> deadlockedIds) {
+        Set<Integer> ids = new HashSet<>(deadlockedIds);
+        if (!ids.equals(deadlockedProcessIds)) {
+            deadlockedProcessIds = ids;
+            edgesChanged = true;
+            requestRedraw();
+        }
+    }
+
+    @Override
+    protected void render(boolean full) {
+        int processCount = allocationMatrix.length;
+        int resourceCount = totalResources.length;
+        computeProcessStates();
+
+        GraphicsContext nodes = getLayer(NODE_LAYER).getGraphicsContext2D();
+        if (full) {
+            computeLayout();
+            nodes.clearRect(0, 0, getWidth(), getHeight());
+        }
+        long now = System.nanoTime();
+        if (full || (edgesChanged && now - lastEdgeRedrawNanos >= EDGE_REFRESH_NANOS)) {
+            edgesChanged = false;
+            lastEdgeRedrawNanos = now;
+            drawEdges(getLayer(EDGE_LAYER).getGraphicsContext2D());
+        } else if (edgesChanged) {
+            requestRedraw(); // Arestas adiadas: tenta de novo no próximo pulso
+        }
+
+        nodes.setTextAlign(TextAlignment.CENTER);
+        nodes.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < processCount; i++) {
+            if (full || drawnProcessStates[i] != processStates[i]) {
+                drawnProcessStates[i] = processStates[i];
+                drawProcess(nodes, i);
+            }
+        }
+        for (int j = 0; j < resourceCount; j++) {
+            int usage = totalResources[j] - availableResources[j];
+            if (full || drawnResourceUsage[j] != usage || drawnResourceTotals[j] != totalResources[j]) {
+                drawnResourceUsage[j] = usage;
+                drawnResourceTotals[j] = totalResources[j];
+                drawResource(nodes, j);
+            }
+        }
+    }
+
+    private void computeProcessStates() {
+        for (int i = 0; i < processStates.length; i++) {
+            visible[i] = processIds.contains(i + 1);
+            deadlocked[i] = deadlockedProcessIds.contains(i + 1);
+            if (!visible[i]) {
+                processStates[i] = STATE_HIDDEN;
+            } else if (deadlocked[i]) {
+                processStates[i] = STATE_DEADLOCKED;
+            } else if (hasAny(requestMatrix[i])) {
+                processStates[i] = STATE_WAITING;
+            } else if (hasAny(allocationMatrix[i])) {
+                processStates[i] = STATE_HOLDING;
+            } else {
+                processStates[i] = STATE_IDLE;
+            }
+        }
+    }
+
+    private void drawEdges(GraphicsContext gc) {
+        gc.clearRect(0, 0, getWidth(), getHeight());
+        int processCount = allocationMatrix.length;
+        int resourceCount = totalResources.length;
+        if (processCount == 0 || resourceCount == 0) {
+            return;
+        }
+
+        // Uma aresta faz parte do ciclo quando liga dois processos em deadlock através do recurso.
+        boolean[] heldByDeadlocked = new boolean[resourceCount];
+        boolean[] requestedByDeadlocked = new boolean[resourceCount];
+        for (int i = 0; i < processCount; i++) {
+            if (deadlocked[i]) {
+                for (int j = 0; j < resourceCount; j++) {
+                    heldByDeadlocked[j] |= allocationMatrix[i][j] > 0;
+                    requestedByDeadlocked[j] |= requestMatrix[i][j] > 0;
+                }
+            }
+        }
+
+        double width = Math.max(0.5, processRadius / 8);
+        // Um único path por cor: milhares de arestas viram poucos comandos de desenho.
+        strokeEdges(gc, ALLOCATION_EDGE_COLOR, width, false, requestedByDeadlocked, false);
+        strokeEdges(gc, REQUEST_EDGE_COLOR, width, true, heldByDeadlocked, false);
+        strokeEdges(gc, DEADLOCK_COLOR, width * 2.5, false, requestedByDeadlocked, true);
+        strokeEdges(gc, DEADLOCK_COLOR, width * 2.5, true, heldByDeadlocked, true);
+    }
+
+    private void strokeEdges(GraphicsContext gc, Color color, double lineWidth, boolean requests,
+                             boolean[] otherEndDeadlocked, boolean cycleEdges) {
+        int processCount = allocationMatrix.length;
+        int resourceCount = totalResources.length;
+        gc.setStroke(color);
+        gc.setLineWidth(lineWidth);
+        gc.beginPath();
+        for (int i = 0; i < processCount; i++) {
+            if (!visible[i]) {
+                continue;
+            }
+            int[] row = requests ? requestMatrix[i] : allocationMatrix[i];
+            for (int j = 0; j < resourceCount; j++) {
+                if (row[j] <= 0 || totalResources[j] <= 0) {
+                    continue;
+                }
+                boolean onCycle = deadlocked[i] && otherEndDeadlocked[j];
+                if (onCycle != cycleEdges) {
+                    continue;
+                }
+                gc.moveTo(processX[i], processY[i]);
+                gc.lineTo(resourceX[j], resourceY[j]);
+            }
+        }
+        gc.stroke();
+    }
+
+    private void drawProcess(GraphicsContext gc, int index) {
+        double x = processX[index];
+        double y = processY[index];
+        double r = processRadius;
+        gc.clearRect(x - r - 1, y - r - 1, 2 * r + 2, 2 * r + 2);
+
+        Color fill = switch (processStates[index]) {
+            case STATE_HIDDEN -> null;
+            case STATE_DEADLOCKED -> DEADLOCK_COLOR;
+            case STATE_WAITING -> WAITING_COLOR;
+            case STATE_HOLDING -> HOLDING_COLOR;
+            default -> IDLE_COLOR;
+        };
+        if (fill == null) {
+            return;
+        }
+        gc.setFill(fill);
+        gc.fillOval(x - r, y - r, 2 * r, 2 * r);
+        if (r >= 8) {
+            gc.setFill(Color.WHITE);
+            gc.fillText("P" + (index + 1), x, y);
+        }
+    }
+
+    private void drawResource(GraphicsContext gc, int index) {
+        double x = resourceX[index];
+        double y = resourceY[index];
+        double r = resourceRadius;
+        gc.clearRect(x - r - 1, y - r - 1, 2 * r + 2, 2 * r + 2);
+        if (totalResources[index] <= 0) {
+            return;
+        }
+
+        double usage = (double) (totalResources[index] - availableResources[index]) / totalResources[index];
+        Color fill = Color.WHITE.interpolate(RESOURCE_COLOR, 0.25 + 0.75 * Math.max(0, Math.min(1, usage)));
+        gc.setFill(fill);
+        gc.fillRect(x - r, y - r, 2 * r, 2 * r);
+        if (r >= 8) {
+            // Recurso pouco usado fica quase branco: o rótulo passa a ser escuro para continuar legível.
+            gc.setFill(luminance(fill) > 0.5 ? RESOURCE_COLOR : Color.WHITE);
+            gc.fillText("R" + index, x, y - r / 3);
+            gc.fillText(availableResources[index] + "/" + totalResources[index], x, y + r / 2);
+        }
+    }
+
+    // Layout em grade dentro de cada faixa, estável pelo índice do processo/recurso.
+    private void computeLayout() {
+        int processCount = allocationMatrix.length;
+        int resourceCount = totalResources.length;
+        processX = new double[processCount];
+        processY = new double[processCount];
+        resourceX = new double[resourceCount];
+        resourceY = new double[resourceCount];
+        processRadius = layoutBand(processX, processY, 0, getHeight() * PROCESS_BAND);
+        resourceRadius = layoutBand(resourceX, resourceY, getHeight() * PROCESS_BAND, getHeight() * (1 - PROCESS_BAND));
+    }
+
+    private double layoutBand(double[] xs, double[] ys, double top, double bandHeight) {
+        int count = xs.length;
+        if (count == 0 || bandHeight <= 0 || getWidth() <= 0) {
+            return 0;
+        }
+        int cols = Math.max(1, Math.min(count, (int) Math.ceil(Math.sqrt(count * getWidth() / bandHeight))));
+        int rows = (count + cols - 1) / cols;
+        double cellWidth = getWidth() / cols;
+        double cellHeight = bandHeight / rows;
+        for (int k = 0; k < count; k++) {
+            xs[k] = (k % cols + 0.5) * cellWidth;
+            ys[k] = top + (k / cols + 0.5) * cellHeight;
+        }
+        return Math.min(MAX_RADIUS, Math.min(cellWidth, cellHeight) * 0.35);
+    }
+
+    private static double luminance(Color color) {
+        return 0.2126 * color.getRed() + 0.7152 * color.getGreen() + 0.0722 * color.getBlue();
+    }
+
+    private static boolean hasAny(int[] row) {
+        for (int value : row) {
+            if (value > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}